@@ -0,0 +1,26 @@
+package com.ejemplo.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Transporte en memoria: una sola instancia o varios "nodos" simulados en tests
+@Component
+@ConditionalOnProperty(name = "app.invalidacion.transporte", havingValue = "en-proceso", matchIfMissing = true)
+public class EnProcesoTransporte implements InvalidacionTransporte {
+
+    private final List<Consumer<List<InvalidacionEvento>>> receptores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(List<InvalidacionEvento> lote) {
+        receptores.forEach(receptor -> receptor.accept(lote));
+    }
+
+    @Override
+    public void suscribir(Consumer<List<InvalidacionEvento>> receptor) {
+        receptores.add(receptor);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.entity.OutboxEvento;
+
+import java.time.Instant;
+
+// Evento que viaja por el transporte; el id del outbox permite aplicarlo de forma idempotente
+public record InvalidacionEvento(
+        Long id,
+        OutboxEvento.Tipo tipo,
+        Long productoId,
+        Instant creadoEn
+) {
+    // Evento local sin id ni fecha: descarta toda la cache tras un hueco en la escucha
+    public static InvalidacionEvento resincronizar() {
+        return new InvalidacionEvento(null, OutboxEvento.Tipo.TODOS, null, null);
+    }
+
+    public static InvalidacionEvento de(OutboxEvento evento) {
+        return new InvalidacionEvento(evento.getId(), evento.getTipo(), evento.getProductoId(), evento.getCreadoEn());
+    }
+}
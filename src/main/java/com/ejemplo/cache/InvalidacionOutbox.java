@@ -0,0 +1,38 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.entity.OutboxEvento;
+import com.ejemplo.repository.OutboxEventoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Invalida la cache local y deja el evento en el outbox para el resto de las replicas.
+// La cache ya valida cada fragmento contra el DTO actual: el evento solo libera memoria antes
+@Component
+@RequiredArgsConstructor
+public class InvalidacionOutbox {
+
+    private final OutboxEventoRepository repository;
+    private final ProductoSerializadoCache cache;
+
+    // MANDATORY: el evento solo existe si la mutacion que lo origina hace commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void producto(Long id) {
+        cache.invalidar(id);
+        registrar(OutboxEvento.Tipo.PRODUCTO, id);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void todos() {
+        cache.invalidarTodo();
+        registrar(OutboxEvento.Tipo.TODOS, null);
+    }
+
+    private void registrar(OutboxEvento.Tipo tipo, Long productoId) {
+        repository.save(OutboxEvento.builder()
+                .tipo(tipo)
+                .productoId(productoId)
+                .build());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.dto.ReplicacionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Aplica en este nodo los eventos recibidos por el transporte (desaloja fragmentos que ya no se reutilizan)
+@Slf4j
+@Component
+public class InvalidacionReceptor {
+
+    private static final int MAX_IDS_APLICADOS = 10_000;
+
+    private final ProductoSerializadoCache cache;
+    private final String nodo;
+
+    // Ultimos ids aplicados, para descartar reenvios del relay
+    private final Set<Long> aplicados = Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_IDS_APLICADOS;
+        }
+    });
+
+    private final AtomicLong eventosAplicados = new AtomicLong();
+    private final AtomicLong duplicadosDescartados = new AtomicLong();
+    private final AtomicLong ultimoLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public InvalidacionReceptor(ProductoSerializadoCache cache,
+                                InvalidacionTransporte transporte,
+                                @Value("${app.nodo.id:${random.uuid}}") String nodo) {
+        this.cache = cache;
+        this.nodo = nodo;
+        transporte.suscribir(this::aplicar);
+    }
+
+    public void aplicar(List<InvalidacionEvento> lote) {
+        Instant ahora = Instant.now();
+        for (InvalidacionEvento evento : lote) {
+            if (evento.id() == null) {
+                // Resincronizacion local: no viene del outbox, no hay id ni lag que medir
+                cache.invalidarTodo();
+                continue;
+            }
+            if (!registrar(evento.id())) {
+                duplicadosDescartados.incrementAndGet();
+                continue;
+            }
+
+            switch (evento.tipo()) {
+                case PRODUCTO -> cache.invalidar(evento.productoId());
+                case TODOS -> cache.invalidarTodo();
+            }
+
+            // Demora del desalojo, no tiempo con datos viejos visibles: la cache nunca los sirve.
+            // Lag desde el inicio de la transaccion de la mutacion (reloj de la BD) hasta la invalidacion
+            // (reloj de este nodo): incluye la duracion de la mutacion. Un desfase de relojes puede dar negativo
+            long lag = Math.max(0, Duration.between(evento.creadoEn(), ahora).toMillis());
+            ultimoLagMs.set(lag);
+            maxLagMs.accumulateAndGet(lag, Math::max);
+            eventosAplicados.incrementAndGet();
+        }
+        log.debug("Nodo {}: lote de {} eventos aplicado, lag {} ms", nodo, lote.size(), ultimoLagMs.get());
+    }
+
+    public ReplicacionDTO estado() {
+        return new ReplicacionDTO(nodo, eventosAplicados.get(), duplicadosDescartados.get(),
+                ultimoLagMs.get(), maxLagMs.get());
+    }
+
+    private boolean registrar(Long id) {
+        synchronized (aplicados) {
+            return aplicados.add(id);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ejemplo.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Bus que reparte los lotes de invalidacion a todas las instancias (incluida la que publica)
+public interface InvalidacionTransporte {
+
+    void publicar(List<InvalidacionEvento> lote);
+
+    void suscribir(Consumer<List<InvalidacionEvento>> receptor);
+}
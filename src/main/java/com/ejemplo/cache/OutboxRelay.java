@@ -0,0 +1,42 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.entity.OutboxEvento;
+import com.ejemplo.repository.OutboxEventoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Poller que drena el outbox y publica los eventos en lotes
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventoRepository repository;
+    private final InvalidacionTransporte transporte;
+
+    @Value("${app.invalidacion.lote:50}")
+    private int lote;
+
+    // Entrega at-least-once: si el commit falla tras publicar, el lote se reenvia
+    // y los receptores lo descartan por id
+    @Scheduled(initialDelayString = "${app.invalidacion.intervalo-ms:500}",
+            fixedDelayString = "${app.invalidacion.intervalo-ms:500}")
+    @Transactional
+    public void publicarPendientes() {
+        List<OutboxEvento> pendientes = repository.findByOrderByIdAsc(PageRequest.of(0, lote));
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        transporte.publicar(pendientes.stream().map(InvalidacionEvento::de).toList());
+        repository.deleteAllInBatch(pendientes);
+        log.debug("Publicados {} eventos de invalidacion", pendientes.size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.ejemplo.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Transporte con LISTEN/NOTIFY de PostgreSQL: no requiere un broker adicional
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.invalidacion.transporte", havingValue = "postgres")
+public class PostgresNotifyTransporte implements InvalidacionTransporte, SmartInitializingSingleton, DisposableBean {
+
+    private static final String CANAL = "invalidaciones_cache";
+    // PostgreSQL rechaza payloads de NOTIFY de 8000 bytes o mas
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+    private static final TypeReference<List<InvalidacionEvento>> TIPO_LOTE = new TypeReference<>() {};
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<Consumer<List<InvalidacionEvento>>> receptores = new CopyOnWriteArrayList<>();
+    private Thread escucha;
+    private volatile boolean activo = true;
+
+    public PostgresNotifyTransporte(DataSourceProperties dataSourceProperties,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // Se empieza a escuchar cuando los receptores ya estan suscritos, para no descartar notificaciones
+    @Override
+    public void afterSingletonsInstantiated() {
+        escucha = Thread.ofPlatform().daemon().name("pg-listen-" + CANAL).start(this::escuchar);
+    }
+
+    // Se ejecuta dentro de la transaccion del relay: PostgreSQL entrega los NOTIFY al hacer commit.
+    // Un lote grande se reparte en varios NOTIFY para respetar el limite de tamano del payload.
+    @Override
+    public void publicar(List<InvalidacionEvento> lote) {
+        List<String> eventos = new ArrayList<>(lote.size());
+        try {
+            for (InvalidacionEvento evento : lote) {
+                eventos.add(objectMapper.writeValueAsString(evento));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el lote de invalidacion", e);
+        }
+        for (String payload : payloads(eventos)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CANAL, payload);
+        }
+    }
+
+    // Agrupa eventos ya serializados en arrays JSON de hasta MAX_PAYLOAD_BYTES (UTF-8)
+    static List<String> payloads(List<String> eventos) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder actual = new StringBuilder("[");
+        int bytes = 1;
+        for (String evento : eventos) {
+            int tamano = evento.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > 1 && bytes + 1 + tamano + 1 > MAX_PAYLOAD_BYTES) {
+                payloads.add(actual.append(']').toString());
+                actual = new StringBuilder("[");
+                bytes = 1;
+            }
+            if (bytes > 1) {
+                actual.append(',');
+                bytes++;
+            }
+            actual.append(evento);
+            bytes += tamano;
+        }
+        if (bytes > 1) {
+            payloads.add(actual.append(']').toString());
+        }
+        return payloads;
+    }
+
+    @Override
+    public void suscribir(Consumer<List<InvalidacionEvento>> receptor) {
+        receptores.add(receptor);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        activo = false;
+        if (escucha != null) {
+            escucha.join(2_000);
+        }
+    }
+
+    // Conexion propia fuera del pool de Hikari: vive lo que vive la app y reconecta si se pierde
+    private void escuchar() {
+        while (activo) {
+            try (Connection conexion = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+                 Statement statement = conexion.createStatement()) {
+                statement.execute("LISTEN " + CANAL);
+                // Lo publicado antes del LISTEN (arranque o reconexion) se perdio: el relay ya borro
+                // esas filas, asi que se descarta toda la cache local antes de seguir escuchando
+                entregar(List.of(InvalidacionEvento.resincronizar()));
+                PGConnection pgConexion = conexion.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] notificaciones = pgConexion.getNotifications(1_000);
+                    if (notificaciones == null) {
+                        continue;
+                    }
+                    for (PGNotification notificacion : notificaciones) {
+                        entregar(notificacion.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Conexion LISTEN {} perdida, reintentando: {}", CANAL, e.getMessage());
+                esperar();
+            }
+        }
+    }
+
+    private void entregar(String payload) {
+        try {
+            entregar(objectMapper.readValue(payload, TIPO_LOTE));
+        } catch (JsonProcessingException e) {
+            log.error("Payload de invalidacion invalido: {}", payload, e);
+        }
+    }
+
+    private void entregar(List<InvalidacionEvento> lote) {
+        receptores.forEach(receptor -> receptor.accept(lote));
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            activo = false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.cache.ProductoSerializadoCache.Formato;
+import com.ejemplo.dto.ProductoDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Escribe ProductoDTO y List<ProductoDTO> desde la cache, en JSON o CBOR segun el Accept
+public class ProductoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ProductoSerializadoCache cache;
+
+    public ProductoHttpMessageConverter(ProductoSerializadoCache cache) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProductoDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (supports(clazz) || esListaDeProductos(type, clazz)) && canWrite(mediaType);
+    }
+
+    // Solo escritura: el body de entrada sigue pasando por Jackson
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    // Inalcanzables mientras canRead devuelva false; se responde como cualquier converter que no puede leer
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ProductoHttpMessageConverter solo escribe respuestas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ProductoHttpMessageConverter solo escribe respuestas", inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        Formato formato = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? Formato.CBOR : Formato.JSON;
+
+        if (valor instanceof ProductoDTO producto) {
+            cache.escribir(producto, formato, outputMessage.getBody());
+        } else {
+            cache.escribirLista((List<ProductoDTO>) valor, formato, outputMessage.getBody());
+        }
+    }
+
+    private static boolean esListaDeProductos(Type type, Class<?> clazz) {
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        ResolvableType tipo = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(tipo.toClass())
+                && tipo.getGeneric(0).toClass() == ProductoDTO.class;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.dto.ProductoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache de bytes ya serializados por producto, para no pasar por Jackson en cada request
+@Component
+public class ProductoSerializadoCache {
+
+    public enum Formato { JSON, CBOR }
+
+    private record Clave(Long id, Formato formato) {}
+
+    // Se guarda el DTO de origen: un fragmento solo es valido si el DTO actual
+    // es igual (mismo updatedAt, pero tambien mismo precio/categoria tras updates masivos)
+    private record Fragmento(ProductoDTO origen, byte[] bytes) {}
+
+    private final Map<Clave, Fragmento> fragmentos = new ConcurrentHashMap<>();
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    public ProductoSerializadoCache(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.jsonMapper = objectMapper;
+        // Misma configuracion que el JSON (fechas ISO, modulos) pero con codificacion CBOR
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    public void escribir(ProductoDTO producto, Formato formato, OutputStream out) throws IOException {
+        out.write(fragmento(producto, formato));
+    }
+
+    // Devuelve el array cacheado: no debe salir de esta clase, un cambio corromperia las respuestas siguientes
+    private byte[] fragmento(ProductoDTO producto, Formato formato) throws IOException {
+        if (producto.id() == null) {
+            return codificar(producto, formato);
+        }
+        Clave clave = new Clave(producto.id(), formato);
+        Fragmento fragmento = fragmentos.get(clave);
+        if (fragmento != null && fragmento.origen().equals(producto)) {
+            return fragmento.bytes();
+        }
+        byte[] bytes = codificar(producto, formato);
+        fragmentos.put(clave, new Fragmento(producto, bytes));
+        return bytes;
+    }
+
+    // Las listas se arman concatenando los fragmentos cacheados de cada producto
+    public void escribirLista(List<ProductoDTO> productos, Formato formato, OutputStream out) throws IOException {
+        if (formato == Formato.CBOR) {
+            escribirCabeceraArrayCbor(productos.size(), out);
+            for (ProductoDTO producto : productos) {
+                escribir(producto, formato, out);
+            }
+            return;
+        }
+        out.write('[');
+        for (int i = 0; i < productos.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            escribir(productos.get(i), formato, out);
+        }
+        out.write(']');
+    }
+
+    public void invalidar(Long id) {
+        for (Formato formato : Formato.values()) {
+            fragmentos.remove(new Clave(id, formato));
+        }
+    }
+
+    public void invalidarTodo() {
+        fragmentos.clear();
+    }
+
+    private byte[] codificar(ProductoDTO producto, Formato formato) throws IOException {
+        return switch (formato) {
+            case JSON -> jsonMapper.writeValueAsBytes(producto);
+            case CBOR -> cborMapper.writeValueAsBytes(producto);
+        };
+    }
+
+    // Array CBOR de longitud definida: tipo mayor 4 (RFC 8949, seccion 3.1)
+    private static void escribirCabeceraArrayCbor(int tamano, OutputStream out) throws IOException {
+        if (tamano < 24) {
+            out.write(0x80 | tamano);
+        } else if (tamano < 0x100) {
+            out.write(0x98);
+            out.write(tamano);
+        } else if (tamano < 0x10000) {
+            out.write(0x99);
+            out.write(tamano >>> 8);
+            out.write(tamano);
+        } else {
+            out.write(0x9a);
+            out.write(tamano >>> 24);
+            out.write(tamano >>> 16);
+            out.write(tamano >>> 8);
+            out.write(tamano);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ejemplo.config;
+
+import com.ejemplo.cache.ProductoHttpMessageConverter;
+import com.ejemplo.cache.ProductoSerializadoCache;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class SerializacionConfig {
+
+    // Spring Boot agrega estos converters antes de los por defecto
+    @Bean
+    public ProductoHttpMessageConverter productoHttpMessageConverter(ProductoSerializadoCache cache) {
+        return new ProductoHttpMessageConverter(cache);
+    }
+
+    // Reemplaza el converter CBOR por defecto para usar la misma configuracion de Jackson que el JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,21 @@
+package com.ejemplo.controller;
+
+import com.ejemplo.cache.InvalidacionReceptor;
+import com.ejemplo.dto.ReplicacionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final InvalidacionReceptor receptor;
+
+    @GetMapping("/replicacion")
+    public ReplicacionDTO replicacion() {
+        return receptor.estado();
+    }
+}
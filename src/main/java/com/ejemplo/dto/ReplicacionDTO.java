@@ -0,0 +1,10 @@
+package com.ejemplo.dto;
+
+// Estado de la invalidacion de cache en este nodo; el lag es demora de desalojo, no de datos viejos
+public record ReplicacionDTO(
+        String nodo,
+        long eventosAplicados,
+        long duplicadosDescartados,
+        long ultimoLagMs,
+        long maxLagMs
+) {}
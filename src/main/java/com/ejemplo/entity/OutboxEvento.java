@@ -0,0 +1,38 @@
+package com.ejemplo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+// Outbox transaccional: se inserta en la misma transaccion que la mutacion
+@Entity
+@Table(name = "outbox_eventos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvento {
+
+    public enum Tipo { PRODUCTO, TODOS }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Tipo tipo;
+
+    // Solo para Tipo.PRODUCTO
+    private Long productoId;
+
+    // current_timestamp de la base de datos: el mismo reloj para todas las replicas, pero en
+    // PostgreSQL y H2 es la hora de inicio de la transaccion, no la de esta insercion
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(nullable = false, updatable = false)
+    private Instant creadoEn;
+}
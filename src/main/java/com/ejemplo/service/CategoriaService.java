@@ -1,5 +1,6 @@
 package com.ejemplo.service;
 
+import com.ejemplo.cache.InvalidacionOutbox;
 import com.ejemplo.dto.CategoriaDTO;
 import com.ejemplo.dto.ProductoDTO;
 import com.ejemplo.entity.Categoria;
@@ -16,6 +17,7 @@ import java.util.List;
 public class CategoriaService {
 
     private final CategoriaRepository repository;
+    private final InvalidacionOutbox invalidaciones;
 
     public List<CategoriaDTO> obtenerTodas() {
         return repository.findAll().stream()
@@ -59,12 +61,15 @@ public class CategoriaService {
                 .orElseThrow(() -> new RuntimeException("Categoria no encontrada: " + id));
         categoria.setNombre(nombre);
         categoria.setDescripcion(descripcion);
+        // categoriaNombre va embebido en cada ProductoDTO cacheado
+        invalidaciones.todos();
         return toDTO(repository.save(categoria));
     }
 
     @Transactional
     public void eliminar(Long id) {
         repository.deleteById(id);
+        invalidaciones.todos();
     }
 
     private CategoriaDTO toDTO(Categoria c) {
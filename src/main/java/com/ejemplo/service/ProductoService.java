@@ -1,5 +1,6 @@
 package com.ejemplo.service;
 
+import com.ejemplo.cache.InvalidacionOutbox;
 import com.ejemplo.dto.ProductoDTO;
 import com.ejemplo.entity.Categoria;
 import com.ejemplo.entity.Producto;
@@ -21,6 +22,7 @@ public class ProductoService {
 
     private final ProductoRepository productoRepository;
     private final CategoriaRepository categoriaRepository;
+    private final InvalidacionOutbox invalidaciones;
 
     public List<ProductoDTO> obtenerTodos() {
         return productoRepository.findAll().stream()
@@ -90,7 +92,9 @@ public class ProductoService {
                 .categoria(categoria)
                 .build();
 
-        return toDTO(productoRepository.save(producto));
+        Producto guardado = productoRepository.save(producto);
+        invalidaciones.producto(guardado.getId());
+        return toDTO(guardado);
     }
 
     @Transactional
@@ -105,6 +109,7 @@ public class ProductoService {
         producto.setPrecio(request.precio());
         producto.setStock(request.stock());
         producto.setCategoria(categoria);
+        invalidaciones.producto(id);
 
         return toDTO(productoRepository.save(producto));
     }
@@ -112,10 +117,13 @@ public class ProductoService {
     @Transactional
     public void eliminar(Long id) {
         productoRepository.deleteById(id);
+        invalidaciones.producto(id);
     }
 
     @Transactional
     public int actualizarPreciosPorCategoria(Long categoriaId, BigDecimal factor) {
+        // El update masivo no pasa por el contexto de persistencia: se descarta toda la cache
+        invalidaciones.todos();
         return productoRepository.actualizarPreciosPorCategoria(categoriaId, factor);
     }
 
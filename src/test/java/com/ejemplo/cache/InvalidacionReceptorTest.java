@@ -0,0 +1,128 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.cache.ProductoSerializadoCache.Formato;
+import com.ejemplo.dto.ProductoDTO;
+import com.ejemplo.dto.ReplicacionDTO;
+import com.ejemplo.entity.OutboxEvento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class InvalidacionReceptorTest {
+
+    private static final ProductoDTO PRODUCTO = new ProductoDTO(
+            1L, "Laptop Pro 15", new BigDecimal("1299.99"), 25, true, "Electronica",
+            LocalDateTime.of(2024, 1, 15, 10, 30), LocalDateTime.of(2024, 1, 15, 10, 30));
+
+    private EnProcesoTransporte transporte;
+    // Mappers JSON espiados para contar cuantas veces codifica cada nodo
+    private ObjectMapper jacksonNodoA;
+    private ObjectMapper jacksonNodoB;
+    private ProductoSerializadoCache cacheNodoA;
+    private ProductoSerializadoCache cacheNodoB;
+    private InvalidacionReceptor receptorNodoA;
+    private InvalidacionReceptor receptorNodoB;
+
+    @BeforeEach
+    void setUp() {
+        // Dos "replicas" suscritas al mismo transporte en memoria
+        transporte = new EnProcesoTransporte();
+        jacksonNodoA = spy(builder().build());
+        jacksonNodoB = spy(builder().build());
+        cacheNodoA = new ProductoSerializadoCache(jacksonNodoA, builder());
+        cacheNodoB = new ProductoSerializadoCache(jacksonNodoB, builder());
+        receptorNodoA = new InvalidacionReceptor(cacheNodoA, transporte, "nodo-a");
+        receptorNodoB = new InvalidacionReceptor(cacheNodoB, transporte, "nodo-b");
+    }
+
+    @Test
+    void eventoInvalidaEnTodosLosNodos() throws IOException {
+        escribir(cacheNodoA);
+        escribir(cacheNodoB);
+
+        transporte.publicar(List.of(evento(1L, OutboxEvento.Tipo.PRODUCTO, PRODUCTO.id())));
+        escribir(cacheNodoA);
+        escribir(cacheNodoB);
+
+        verify(jacksonNodoA, times(2)).writeValueAsBytes(PRODUCTO);
+        verify(jacksonNodoB, times(2)).writeValueAsBytes(PRODUCTO);
+    }
+
+    @Test
+    void loteReenviadoSeAplicaUnaSolaVez() throws IOException {
+        List<InvalidacionEvento> lote = List.of(
+                evento(1L, OutboxEvento.Tipo.PRODUCTO, PRODUCTO.id()),
+                evento(2L, OutboxEvento.Tipo.TODOS, null));
+        transporte.publicar(lote);
+
+        escribir(cacheNodoA);
+        transporte.publicar(lote);
+        escribir(cacheNodoA);
+
+        verify(jacksonNodoA, times(1)).writeValueAsBytes(PRODUCTO);
+        ReplicacionDTO estado = receptorNodoA.estado();
+        assertEquals("nodo-a", estado.nodo());
+        assertEquals(2, estado.eventosAplicados());
+        assertEquals(2, estado.duplicadosDescartados());
+    }
+
+    @Test
+    void resincronizarVaciaLaCacheSinContarComoEvento() throws IOException {
+        escribir(cacheNodoA);
+
+        receptorNodoA.aplicar(List.of(InvalidacionEvento.resincronizar()));
+        receptorNodoA.aplicar(List.of(InvalidacionEvento.resincronizar()));
+        escribir(cacheNodoA);
+
+        verify(jacksonNodoA, times(2)).writeValueAsBytes(PRODUCTO);
+        assertEquals(0, receptorNodoA.estado().eventosAplicados());
+        assertEquals(0, receptorNodoA.estado().duplicadosDescartados());
+    }
+
+    @Test
+    void reportaLagDesdeLaFechaDelEvento() {
+        Instant creadoEn = Instant.now().minusMillis(250);
+
+        transporte.publicar(List.of(new InvalidacionEvento(1L, OutboxEvento.Tipo.TODOS, null, creadoEn)));
+
+        ReplicacionDTO estado = receptorNodoB.estado();
+        assertTrue(estado.ultimoLagMs() >= 250);
+        assertEquals(estado.ultimoLagMs(), estado.maxLagMs());
+    }
+
+    @Test
+    void lagNegativoPorDesfaseDeRelojesSeInformaComoCero() {
+        Instant enElFuturo = Instant.now().plusSeconds(5);
+
+        transporte.publicar(List.of(new InvalidacionEvento(1L, OutboxEvento.Tipo.TODOS, null, enElFuturo)));
+
+        assertEquals(0, receptorNodoA.estado().ultimoLagMs());
+    }
+
+    private static InvalidacionEvento evento(Long id, OutboxEvento.Tipo tipo, Long productoId) {
+        return new InvalidacionEvento(id, tipo, productoId, Instant.now());
+    }
+
+    private static void escribir(ProductoSerializadoCache cache) throws IOException {
+        cache.escribir(PRODUCTO, Formato.JSON, new ByteArrayOutputStream());
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
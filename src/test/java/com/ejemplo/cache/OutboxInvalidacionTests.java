@@ -0,0 +1,162 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.dto.ProductoDTO;
+import com.ejemplo.entity.Categoria;
+import com.ejemplo.entity.OutboxEvento;
+import com.ejemplo.entity.Producto;
+import com.ejemplo.repository.CategoriaRepository;
+import com.ejemplo.repository.OutboxEventoRepository;
+import com.ejemplo.repository.ProductoRepository;
+import com.ejemplo.service.CategoriaService;
+import com.ejemplo.service.ProductoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Base H2 propia y relay sin programar: el test drena el outbox a mano
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb;DB_CLOSE_DELAY=-1",
+        "app.invalidacion.intervalo-ms=3600000"
+})
+@ActiveProfiles("dev")
+class OutboxInvalidacionTests {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private OutboxEventoRepository outboxRepository;
+
+    @Autowired
+    private InvalidacionOutbox invalidaciones;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    // Espia sobre el transporte real: captura los lotes sin dejar suscriptores en el contexto cacheado
+    @MockitoSpyBean
+    private InvalidacionTransporte transporte;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void actualizarProductoRegistraEvento() {
+        Producto producto = productoRepository.findAll().getFirst();
+
+        productoService.actualizar(producto.getId(), sinCambios(producto));
+
+        assertEventoUnico(OutboxEvento.Tipo.PRODUCTO, producto.getId());
+    }
+
+    @Test
+    void eliminarProductoRegistraEvento() {
+        Categoria categoria = categoriaRepository.findAll().getFirst();
+        ProductoDTO creado = productoService.crear(new ProductoDTO.CrearProducto(
+                "Producto temporal", new BigDecimal("9.99"), 1, categoria.getId()));
+        outboxRepository.deleteAll();
+
+        productoService.eliminar(creado.id());
+
+        assertEventoUnico(OutboxEvento.Tipo.PRODUCTO, creado.id());
+    }
+
+    @Test
+    void actualizarPreciosPorCategoriaRegistraEventoTodos() {
+        Categoria categoria = categoriaRepository.findAll().getFirst();
+
+        productoService.actualizarPreciosPorCategoria(categoria.getId(), BigDecimal.ONE);
+
+        assertEventoUnico(OutboxEvento.Tipo.TODOS, null);
+    }
+
+    @Test
+    void actualizarCategoriaRegistraEventoTodos() {
+        Categoria categoria = categoriaRepository.findAll().getFirst();
+
+        categoriaService.actualizar(categoria.getId(), categoria.getNombre(), categoria.getDescripcion());
+
+        assertEventoUnico(OutboxEvento.Tipo.TODOS, null);
+    }
+
+    @Test
+    void mutacionConRollbackNoRegistraEvento() {
+        Producto producto = productoRepository.findAll().getFirst();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productoService.actualizar(producto.getId(), sinCambios(producto));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void outboxFueraDeTransaccionFalla() {
+        assertThrows(IllegalTransactionStateException.class, () -> invalidaciones.producto(1L));
+        assertThrows(IllegalTransactionStateException.class, () -> invalidaciones.todos());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void relayPublicaElLoteYBorraLasFilas() {
+        List<Producto> productos = productoRepository.findAll();
+        productoService.actualizar(productos.get(0).getId(), sinCambios(productos.get(0)));
+        productoService.actualizar(productos.get(1).getId(), sinCambios(productos.get(1)));
+        List<Long> pendientes = outboxRepository.findAll(Sort.by("id")).stream().map(OutboxEvento::getId).toList();
+
+        relay.publicarPendientes();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InvalidacionEvento>> lote = ArgumentCaptor.forClass(List.class);
+        verify(transporte, times(1)).publicar(lote.capture());
+        List<InvalidacionEvento> recibidos = lote.getValue();
+        assertEquals(pendientes, recibidos.stream().map(InvalidacionEvento::id).toList());
+        assertEquals(List.of(productos.get(0).getId(), productos.get(1).getId()),
+                recibidos.stream().map(InvalidacionEvento::productoId).toList());
+        recibidos.forEach(evento -> assertNotNull(evento.creadoEn()));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private void assertEventoUnico(OutboxEvento.Tipo tipo, Long productoId) {
+        List<OutboxEvento> eventos = outboxRepository.findAll();
+        assertEquals(1, eventos.size());
+        assertEquals(tipo, eventos.getFirst().getTipo());
+        assertEquals(productoId, eventos.getFirst().getProductoId());
+        assertNotNull(eventos.getFirst().getCreadoEn());
+    }
+
+    private static ProductoDTO.CrearProducto sinCambios(Producto producto) {
+        return new ProductoDTO.CrearProducto(
+                producto.getNombre(), producto.getPrecio(), producto.getStock(), producto.getCategoria().getId());
+    }
+}
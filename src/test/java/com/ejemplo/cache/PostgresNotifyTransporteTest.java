@@ -0,0 +1,41 @@
+package com.ejemplo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresNotifyTransporteTest {
+
+    private static final String EVENTO =
+            "{\"id\":%d,\"tipo\":\"PRODUCTO\",\"productoId\":%d,\"creadoEn\":\"2024-01-15T10:30:00.123456Z\"}";
+
+    @Test
+    void loteGrandeSeRepartePorTamano() {
+        List<String> eventos = IntStream.rangeClosed(1, 500)
+                .mapToObj(i -> EVENTO.formatted(i, i))
+                .toList();
+
+        List<String> payloads = PostgresNotifyTransporte.payloads(eventos);
+
+        assertTrue(payloads.size() > 1);
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= PostgresNotifyTransporte.MAX_PAYLOAD_BYTES);
+        }
+        // Concatenando los arrays se recuperan todos los eventos en orden
+        String unidos = String.join(",", payloads.stream().map(p -> p.substring(1, p.length() - 1)).toList());
+        assertEquals(String.join(",", eventos), unidos);
+    }
+
+    @Test
+    void loteChicoVaEnUnSoloPayload() {
+        List<String> eventos = List.of(EVENTO.formatted(1, 1), EVENTO.formatted(2, 2));
+
+        assertEquals(List.of("[" + String.join(",", eventos) + "]"), PostgresNotifyTransporte.payloads(eventos));
+        assertEquals(Collections.emptyList(), PostgresNotifyTransporte.payloads(List.of()));
+    }
+}
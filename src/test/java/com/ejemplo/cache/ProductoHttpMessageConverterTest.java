@@ -0,0 +1,136 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.config.SerializacionConfig;
+import com.ejemplo.controller.ProductoController;
+import com.ejemplo.dto.ProductoDTO;
+import com.ejemplo.service.ProductoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductoController.class)
+@Import({SerializacionConfig.class, ProductoSerializadoCache.class})
+class ProductoHttpMessageConverterTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final ProductoDTO LAPTOP = new ProductoDTO(
+            1L, "Laptop Pro 15", new BigDecimal("1299.99"), 25, true, "Electronica", FECHA, FECHA);
+    private static final ProductoDTO MOUSE = new ProductoDTO(
+            2L, "Mouse Ergonomico", new BigDecimal("59.99"), 150, true, "Electronica", FECHA, FECHA.plusDays(1));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private HttpMessageConverters converters;
+
+    @MockitoBean
+    private ProductoService service;
+
+    // @EnableJpaAuditing esta en la clase principal y el slice web no levanta JPA
+    @MockitoBean
+    private JpaMetamodelMappingContext jpaMappingContext;
+
+    @BeforeEach
+    void setUp() {
+        when(service.obtenerPorId(1L)).thenReturn(LAPTOP);
+        when(service.obtenerTodos()).thenReturn(List.of(LAPTOP, MOUSE));
+    }
+
+    @Test
+    void productoEnJsonIgualAJackson() throws Exception {
+        byte[] body = obtener("/api/productos/1", MediaType.APPLICATION_JSON);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(LAPTOP), body);
+    }
+
+    @Test
+    void listaEnJsonIgualAJackson() throws Exception {
+        byte[] body = obtener("/api/productos", MediaType.APPLICATION_JSON);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(LAPTOP, MOUSE)), body);
+    }
+
+    @Test
+    void productoEnCborEquivalenteAJackson() throws Exception {
+        byte[] body = obtener("/api/productos/1", MediaType.APPLICATION_CBOR);
+
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        assertEquals(cbor.readTree(cbor.writeValueAsBytes(LAPTOP)), cbor.readTree(body));
+    }
+
+    @Test
+    void listaEnCborEquivalenteAJackson() throws Exception {
+        byte[] body = obtener("/api/productos", MediaType.APPLICATION_CBOR);
+
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        assertEquals(cbor.readTree(cbor.writeValueAsBytes(List.of(LAPTOP, MOUSE))), cbor.readTree(body));
+    }
+
+    @Test
+    void sinAcceptRespondeJson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/productos").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(LAPTOP, MOUSE)),
+                resultado.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void convierteAntesQueJackson() {
+        List<HttpMessageConverter<?>> lista = converters.getConverters();
+        int producto = indiceDe(lista, ProductoHttpMessageConverter.class);
+
+        assertTrue(producto >= 0);
+        assertTrue(producto < indiceDe(lista, MappingJackson2HttpMessageConverter.class));
+        assertTrue(producto < indiceDe(lista, MappingJackson2CborHttpMessageConverter.class));
+    }
+
+    private byte[] obtener(String url, MediaType accept) throws Exception {
+        return mockMvc.perform(get(url).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private static int indiceDe(List<HttpMessageConverter<?>> lista, Class<?> tipo) {
+        for (int i = 0; i < lista.size(); i++) {
+            if (tipo.isInstance(lista.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
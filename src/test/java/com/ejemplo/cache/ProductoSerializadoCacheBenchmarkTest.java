@@ -0,0 +1,104 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.cache.ProductoSerializadoCache.Formato;
+import com.ejemplo.dto.ProductoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Bytes en el cable y CPU por request de un listado de 50 productos: Jackson directo,
+// cache caliente y cache fria (fallo en cada request), en JSON y CBOR.
+// Fuera de la suite por defecto: make bench (mvn test -Pbenchmark)
+@Slf4j
+@Tag("benchmark")
+class ProductoSerializadoCacheBenchmarkTest {
+
+    private static final int PRODUCTOS = 50;
+    private static final int REQUESTS = 2_000;
+
+    private final ObjectMapper jsonMapper = builder().build();
+    private final ObjectMapper cborMapper = builder().factory(new CBORFactory()).build();
+    private final ProductoSerializadoCache cache = new ProductoSerializadoCache(jsonMapper, builder());
+
+    @Test
+    void bytesYCpuPorRequest() throws IOException {
+        List<ProductoDTO> productos = IntStream.rangeClosed(1, PRODUCTOS)
+                .mapToObj(i -> producto(i))
+                .toList();
+
+        log.info("{} productos, {} requests", PRODUCTOS, REQUESTS);
+        log.info("{}", String.format("%-18s %8s %12s", "modo", "bytes", "cpu ns/req"));
+
+        reportar("jackson json", jsonMapper.writeValueAsBytes(productos).length,
+                medirCpu(() -> jsonMapper.writeValueAsBytes(productos)));
+        reportar("jackson cbor", cborMapper.writeValueAsBytes(productos).length,
+                medirCpu(() -> cborMapper.writeValueAsBytes(productos)));
+
+        // Cache caliente: todos los fragmentos ya codificados
+        reportar("cache json", escribir(productos, Formato.JSON).length,
+                medirCpu(() -> escribir(productos, Formato.JSON)));
+        reportar("cache cbor", escribir(productos, Formato.CBOR).length,
+                medirCpu(() -> escribir(productos, Formato.CBOR)));
+
+        // Cache fria: cada request recodifica todo, como tras un update masivo
+        reportar("cache json fria", escribir(productos, Formato.JSON).length, medirCpu(() -> {
+            cache.invalidarTodo();
+            escribir(productos, Formato.JSON);
+        }));
+        reportar("cache cbor fria", escribir(productos, Formato.CBOR).length, medirCpu(() -> {
+            cache.invalidarTodo();
+            escribir(productos, Formato.CBOR);
+        }));
+    }
+
+    private static void reportar(String modo, int bytes, long cpu) {
+        log.info("{}", String.format("%-18s %8d %12d", modo, bytes, cpu / REQUESTS));
+    }
+
+    private byte[] escribir(List<ProductoDTO> productos, Formato formato) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.escribirLista(productos, formato, out);
+        return out.toByteArray();
+    }
+
+    private interface Request {
+        void ejecutar() throws IOException;
+    }
+
+    private static long medirCpu(Request request) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        // Calentamiento para que el JIT compile antes de medir
+        for (int i = 0; i < REQUESTS; i++) {
+            request.ejecutar();
+        }
+        long inicio = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.ejecutar();
+        }
+        return threads.getCurrentThreadCpuTime() - inicio;
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ProductoDTO producto(long id) {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30).plusMinutes(id);
+        return new ProductoDTO(id, "Producto " + id, new BigDecimal("199.99").add(BigDecimal.valueOf(id)),
+                (int) id * 3, true, "Electronica", fecha, fecha);
+    }
+}
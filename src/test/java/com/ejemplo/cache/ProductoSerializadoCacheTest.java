@@ -0,0 +1,111 @@
+package com.ejemplo.cache;
+
+import com.ejemplo.cache.ProductoSerializadoCache.Formato;
+import com.ejemplo.dto.ProductoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductoSerializadoCacheTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    // Mapper JSON de la cache, espiado para contar cuantas veces codifica
+    private ObjectMapper jackson;
+    private ProductoSerializadoCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Misma configuracion de fechas que aplica Spring Boot
+        jsonMapper = builder().build();
+        cborMapper = builder().factory(new CBORFactory()).build();
+        jackson = spy(builder().build());
+        cache = new ProductoSerializadoCache(jackson, builder());
+    }
+
+    @Test
+    void listaJsonIgualAJackson() throws IOException {
+        List<ProductoDTO> productos = productos(30);
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(productos), escribir(productos, Formato.JSON));
+    }
+
+    @Test
+    void listaCborEquivalenteAJackson() throws IOException {
+        for (int tamano : new int[]{0, 5, 24, 300}) {
+            List<ProductoDTO> productos = productos(tamano);
+
+            assertEquals(cborMapper.readTree(cborMapper.writeValueAsBytes(productos)),
+                    cborMapper.readTree(escribir(productos, Formato.CBOR)));
+        }
+    }
+
+    @Test
+    void reutilizaFragmentoHastaQueCambiaElProducto() throws IOException {
+        ProductoDTO producto = producto(1);
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(producto), escribir(producto));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(producto), escribir(producto));
+        verify(jackson, times(1)).writeValueAsBytes(producto);
+
+        // Mismo updatedAt pero otro precio (update masivo): no debe servir el fragmento viejo
+        ProductoDTO conNuevoPrecio = new ProductoDTO(
+                producto.id(), producto.nombre(), new BigDecimal("1.00"), producto.stock(),
+                producto.activo(), producto.categoriaNombre(), producto.createdAt(), producto.updatedAt());
+        assertArrayEquals(jsonMapper.writeValueAsBytes(conNuevoPrecio), escribir(conNuevoPrecio));
+        verify(jackson, times(1)).writeValueAsBytes(conNuevoPrecio);
+    }
+
+    @Test
+    void invalidarDescartaElFragmento() throws IOException {
+        ProductoDTO producto = producto(1);
+        escribir(producto);
+
+        cache.invalidar(producto.id());
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(producto), escribir(producto));
+        verify(jackson, times(2)).writeValueAsBytes(producto);
+    }
+
+    private byte[] escribir(ProductoDTO producto) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.escribir(producto, Formato.JSON, out);
+        return out.toByteArray();
+    }
+
+    private byte[] escribir(List<ProductoDTO> productos, Formato formato) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.escribirLista(productos, formato, out);
+        return out.toByteArray();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<ProductoDTO> productos(int cantidad) {
+        return IntStream.rangeClosed(1, cantidad).mapToObj(i -> producto(i)).toList();
+    }
+
+    private static ProductoDTO producto(long id) {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30).plusMinutes(id);
+        return new ProductoDTO(id, "Producto " + id, new BigDecimal("199.99").add(BigDecimal.valueOf(id)),
+                (int) id * 3, true, "Electronica", fecha, fecha);
+    }
+}